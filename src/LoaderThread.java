@@ -27,12 +27,14 @@ public class LoaderThread extends Thread {
                 }
 
                 // Try to allocate memory for this job
-                if (memory.allocate(next.memoryMB)) {
+                if (memory.allocate(next.id, next.memoryMB)) {
 
                     queues.jobQueue.take(); 
                     next.state = ProcessState.READY;
                     next.readyAcceptedTimeMs = System.currentTimeMillis();
                     queues.readyQueue.put(next);
+                    TraceRecorder.emitNow(TraceEvent.ADMIT, next.id,
+                            next.burstTimeMs, next.priority, next.memoryMB);
                     System.out.printf("[Loader] Loaded P%d (%dMB). Mem %d/%d MB%n",
                             next.id, next.memoryMB, memory.used(), memory.capacity());
                 } else {
@@ -1,4 +1,5 @@
 import java.io.FileWriter;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class Main {
     public static void main(String[] args) throws Exception {
         String jobFile = args.length > 0 ? args[0] : "job.txt";
+        String traceFile = args.length > 1 ? args[1] : null;
 
         // Create a sample job file if missing
         if (!Files.exists(Path.of(jobFile))) {
@@ -29,6 +31,22 @@ public class Main {
             System.out.println("Created sample " + jobFile);
         }
 
+        // Optional binary trace of admissions, allocations and scheduling decisions
+        TraceRecorder trace = null;
+        if (traceFile != null) {
+            trace = new TraceRecorder(Path.of(traceFile));
+            TraceRecorder.install(trace);
+        }
+
+        // Close the trace on every exit path so aborted runs keep their events
+        try {
+            runSession(jobFile);
+        } finally {
+            closeTrace(trace, traceFile);
+        }
+    }
+
+    private static void runSession(String jobFile) throws Exception {
         Queues queues = new Queues();
         MemoryManager memory = new MemoryManager(2048);
         AtomicBoolean fileDone = new AtomicBoolean(false);
@@ -71,6 +89,8 @@ public class Main {
         System.out.println("1) Shortest Job First (non-preemptive)");
         System.out.println("2) Round Robin (q = 6 ms)");
         System.out.println("3) Priority Scheduling (non-preemptive, with aging)");
+        System.out.println("4) Lottery Scheduling (q = 6 ms, tickets = priority)");
+        System.out.println("5) Stride Scheduling (q = 6 ms, tickets = priority)");
 
         System.out.print("Enter choice: ");
 
@@ -143,6 +163,55 @@ public class Main {
                 SystemCalls.sysTerminateProcess(p, memory);
         }
 
+        System.out.println("\nSystem call: memory info AFTER termination:");
+        SystemCalls.sysPrintMemoryInfo(memory);
+        break;
+
+        case 4:
+            // Lottery Scheduling (q = 6 ms); seed is printed so the run can be repeated
+            long seed = System.currentTimeMillis();
+            result = Scheduler.runLottery(processes, 6, seed);
+            System.out.println("\n=== Lottery (q=6 ms, seed=" + seed + ") Results ===");
+            printResults(result, processes);
+            printShares(result, 6);
+
+        System.out.println("\nSystem call: process info after Lottery:");
+            for (PCB p : processes) {
+                SystemCalls.sysPrintProcessInfo(p);
+        }
+
+        System.out.println("\nSystem call: memory info BEFORE termination:");
+        SystemCalls.sysPrintMemoryInfo(memory);
+
+        System.out.println("\nTerminating processes via system call...");
+            for (PCB p : processes) {
+                SystemCalls.sysTerminateProcess(p, memory);
+        }
+
+        System.out.println("\nSystem call: memory info AFTER termination:");
+        SystemCalls.sysPrintMemoryInfo(memory);
+        break;
+
+        case 5:
+            // Stride Scheduling (q = 6 ms)
+            result = Scheduler.runStride(processes, 6);
+            System.out.println("\n=== Stride (q=6 ms) Results ===");
+            printResults(result, processes);
+            printShares(result, 6);
+
+        System.out.println("\nSystem call: process info after Stride:");
+            for (PCB p : processes) {
+                SystemCalls.sysPrintProcessInfo(p);
+        }
+
+        System.out.println("\nSystem call: memory info BEFORE termination:");
+        SystemCalls.sysPrintMemoryInfo(memory);
+
+        System.out.println("\nTerminating processes via system call...");
+            for (PCB p : processes) {
+                SystemCalls.sysTerminateProcess(p, memory);
+        }
+
         System.out.println("\nSystem call: memory info AFTER termination:");
         SystemCalls.sysPrintMemoryInfo(memory);
         break;
@@ -152,6 +221,31 @@ public class Main {
         }
     }
 
+    private static void printShares(SchedulerResult result, int quantumMs) {
+        System.out.println("\nProportional share (lag = received - CPU owed by tickets while runnable):");
+        double worst = 0.0;
+        for (ShareStat s : result.shares) {
+            System.out.printf(
+                "P%d: tickets=%d, target=%.1f%%, received=%d ms, entitled=%.1f ms, lag=%+.1f ms, max |lag|=%.1f ms%n",
+                s.processId, s.tickets, s.targetShare * 100, s.receivedMs, s.entitledMs, s.lagMs(), s.maxLagMs
+            );
+            worst = Math.max(worst, s.maxLagMs);
+        }
+        System.out.printf("Max lag: %.1f ms (%.2f quanta)%n", worst, worst / quantumMs);
+    }
+
+    private static void closeTrace(TraceRecorder trace, String traceFile) {
+        if (trace == null) return;
+        long events = trace.eventCount();
+        try {
+            trace.close();
+        } catch (IOException e) {
+            System.err.printf("%nTrace %s is INCOMPLETE: %s%n", traceFile, e.getCause());
+            return;
+        }
+        System.out.printf("%nTrace: %d events written to %s%n", events, traceFile);
+    }
+
     private static void printResults(SchedulerResult result, List<PCB> processes) {
         System.out.println("\nGantt Chart:");
         
@@ -18,12 +18,25 @@ public class MemoryManager {
         return false;
     }
 
+    // Same as allocate(reqMB), recorded in the trace for process pid
+    public synchronized boolean allocate(int pid, int reqMB) {
+        if (!allocate(reqMB)) return false;
+        TraceRecorder.emitNow(TraceEvent.ALLOCATE, pid, reqMB, usedMB, 0);
+        return true;
+    }
+
     public synchronized void free(int mb) {
         usedMB -= mb;
         if (usedMB < 0) usedMB = 0;
         notifyAll();
     }
 
+    // Same as free(mb), recorded in the trace for process pid
+    public synchronized void free(int pid, int mb) {
+        free(mb);
+        TraceRecorder.emitNow(TraceEvent.FREE, pid, mb, usedMB, 0);
+    }
+
     public synchronized int used() { return usedMB; }
     public int capacity() { return capacityMB; }
 }
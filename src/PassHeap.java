@@ -0,0 +1,60 @@
+/**
+ * Min-heap of process indices ordered by stride pass value, ties broken
+ * by seq (insertion order). Used by stride scheduling. Indices are kept in
+ * a plain int[] and keys are read from the caller's arrays, so nothing is
+ * boxed. The pass of an index must not change while it is in the heap,
+ * except for the top one followed by topIncreased().
+ */
+public class PassHeap {
+    private final int[] heap;
+    private final long[] pass;
+    private final long[] seq;
+    private int size;
+
+    /** Builds a heap holding every index 0..pass.length-1, in O(n). */
+    public PassHeap(long[] pass, long[] seq) {
+        this.pass = pass;
+        this.seq = seq;
+        this.heap = new int[pass.length];
+        this.size = pass.length;
+        for (int i = 0; i < size; i++) heap[i] = i;
+        for (int i = size / 2 - 1; i >= 0; i--) siftDown(i);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    /** Restores order after the pass of the top index was increased. */
+    public void topIncreased() {
+        siftDown(0);
+    }
+
+    public int poll() {
+        int top = heap[0];
+        heap[0] = heap[--size];
+        if (size > 0) siftDown(0);
+        return top;
+    }
+
+    private boolean less(int a, int b) {
+        return pass[a] < pass[b] || (pass[a] == pass[b] && seq[a] < seq[b]);
+    }
+
+    private void siftDown(int k) {
+        int idx = heap[k];
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], idx)) break;
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = idx;
+    }
+}
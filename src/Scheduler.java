@@ -3,6 +3,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
+import java.util.Random;
 
 public class Scheduler {
 
@@ -33,6 +34,8 @@ public class Scheduler {
         
         int degreeOfMultiprogramming = n;
 
+        TraceRecorder.emit(TraceEvent.RUN, -1, 0, TraceRecorder.ALGO_SJF, 0, n);
+
         for (PCB p : procs) {
             int start = currentTime;
             int end = currentTime + p.burstTimeMs;
@@ -45,6 +48,9 @@ public class Scheduler {
             currentTime = end;
 
             gantt.add(new GanttEntry(p.id, start, end));
+            TraceRecorder.emit(TraceEvent.DISPATCH, p.id, start, p.burstTimeMs, 0, 0);
+            TraceRecorder.emit(TraceEvent.TERMINATE, p.id, end,
+                    (int) p.waitingTimeMs, (int) p.turnaroundTimeMs, 0);
             totalWaiting += p.waitingTimeMs;
             totalTurnaround += p.turnaroundTimeMs;
 
@@ -103,6 +109,8 @@ public class Scheduler {
         long totalTurnaround = 0;
         int finishedCount = 0;
 
+        TraceRecorder.emit(TraceEvent.RUN, -1, 0, TraceRecorder.ALGO_RR, quantumMs, n);
+
         while (!queue.isEmpty()) {
             int idx = queue.removeFirst();
             PCB p = procs.get(idx);
@@ -115,17 +123,20 @@ public class Scheduler {
             currentTime = end;
             remaining[idx] -= execTime;
             gantt.add(new GanttEntry(p.id, start, end));
+            TraceRecorder.emit(TraceEvent.DISPATCH, p.id, start, execTime, 0, 0);
 
             if (remaining[idx] == 0) {
                 
                 p.state = ProcessState.TERMINATED;
                 p.turnaroundTimeMs = currentTime - p.arrivalTimeMs; // arrival assumed 0
                 p.waitingTimeMs = p.turnaroundTimeMs - p.burstTimeMs;
+                TraceRecorder.emit(TraceEvent.TERMINATE, p.id, end,
+                        (int) p.waitingTimeMs, (int) p.turnaroundTimeMs, 0);
                 totalWaiting += p.waitingTimeMs;
                 totalTurnaround += p.turnaroundTimeMs;
                 finishedCount++;
             } else {
-                
+                TraceRecorder.emit(TraceEvent.PREEMPT, p.id, end, remaining[idx], 0, 0);
                 queue.addLast(idx);
             }
         }
@@ -179,6 +190,7 @@ public class Scheduler {
         
         int degreeOfMultiprogramming = n;
 
+        TraceRecorder.emit(TraceEvent.RUN, -1, 0, TraceRecorder.ALGO_PRIORITY, agingIntervalMs, n);
 
         while (finishedCount < n) {
             int bestIdx = -1;
@@ -221,6 +233,9 @@ public class Scheduler {
             totalTurnaround += current.turnaroundTimeMs;
 
             gantt.add(new GanttEntry(current.id, start, end));
+            TraceRecorder.emit(TraceEvent.DISPATCH, current.id, start, execTime, 0, 0);
+            TraceRecorder.emit(TraceEvent.TERMINATE, current.id, end,
+                    (int) current.waitingTimeMs, (int) current.turnaroundTimeMs, 0);
 
             
             if (current.waitingTimeMs > degreeOfMultiprogramming) {
@@ -236,4 +251,222 @@ public class Scheduler {
 
         return new SchedulerResult(gantt, avgWait, avgTurn);
     }
+
+    /**
+     * Lottery Scheduling (preemptive, proportional share).
+     * Each process holds tickets = priority; every quantum a ticket is drawn
+     * and its owner runs. Draws use a Fenwick tree, so each is O(log n).
+     * All processes arrive at time 0.
+     *
+     * @param processes list of PCBs
+     * @param quantumMs time slice in ms
+     * @param seed      random seed, so a run can be reproduced
+     */
+    public static SchedulerResult runLottery(List<PCB> processes, int quantumMs, long seed) {
+        if (processes.isEmpty()) {
+            return new SchedulerResult(new ArrayList<>(), 0.0, 0.0);
+        }
+        if (quantumMs <= 0) {
+            throw new IllegalArgumentException("Quantum must be > 0");
+        }
+
+        int n = processes.size();
+        List<PCB> procs = new ArrayList<>(processes);
+
+        int[] remaining = new int[n];
+        int[] tickets = new int[n];
+        for (int i = 0; i < n; i++) {
+            PCB p = procs.get(i);
+            remaining[i] = p.burstTimeMs;
+            tickets[i] = ticketsFor(p);
+            p.waitingTimeMs = 0;
+            p.turnaroundTimeMs = 0;
+            p.state = ProcessState.READY;
+        }
+
+        TicketTree tree = new TicketTree(tickets);
+        int initialTickets = tree.total();
+        Random random = new Random(seed);
+
+        List<GanttEntry> gantt = new ArrayList<>();
+        double[] entitled = new double[n];
+        long[] received = new long[n];
+        double[] maxLag = new double[n];
+        int currentTime = 0;
+        long totalWaiting = 0;
+        long totalTurnaround = 0;
+        int finishedCount = 0;
+
+        // CPU time owed per ticket so far; a process's entitlement is its
+        // tickets times the growth of this value while it was runnable.
+        // Lag = received - entitled; it is most negative just before a process
+        // is dispatched and most positive just after, so sampling it around
+        // each slice gives the worst lag in O(1) per dispatch.
+        double timePerTicket = 0.0;
+
+        TraceRecorder.emit(TraceEvent.RUN, -1, seed, TraceRecorder.ALGO_LOTTERY, quantumMs, n);
+
+        while (finishedCount < n) {
+            int idx = tree.find(random.nextInt(tree.total()));
+            PCB p = procs.get(idx);
+
+            int execTime = Math.min(remaining[idx], quantumMs);
+            int start = currentTime;
+            int end = currentTime + execTime;
+
+            maxLag[idx] = Math.max(maxLag[idx],
+                    Math.abs(received[idx] - tickets[idx] * timePerTicket));
+            timePerTicket += (double) execTime / tree.total();
+            received[idx] += execTime;
+            maxLag[idx] = Math.max(maxLag[idx],
+                    Math.abs(received[idx] - tickets[idx] * timePerTicket));
+            currentTime = end;
+            remaining[idx] -= execTime;
+            gantt.add(new GanttEntry(p.id, start, end));
+            TraceRecorder.emit(TraceEvent.DISPATCH, p.id, start, execTime, 0, 0);
+
+            if (remaining[idx] == 0) {
+                tree.add(idx, -tickets[idx]);
+                entitled[idx] = tickets[idx] * timePerTicket;
+                finishedCount++;
+
+                p.state = ProcessState.TERMINATED;
+                p.turnaroundTimeMs = currentTime - p.arrivalTimeMs;
+                p.waitingTimeMs = p.turnaroundTimeMs - p.burstTimeMs;
+                totalWaiting += p.waitingTimeMs;
+                totalTurnaround += p.turnaroundTimeMs;
+                TraceRecorder.emit(TraceEvent.TERMINATE, p.id, end,
+                        (int) p.waitingTimeMs, (int) p.turnaroundTimeMs, 0);
+            } else {
+                TraceRecorder.emit(TraceEvent.PREEMPT, p.id, end, remaining[idx], 0, 0);
+            }
+        }
+
+        double avgWait = (double) totalWaiting / n;
+        double avgTurn = (double) totalTurnaround / n;
+
+        return new SchedulerResult(gantt, avgWait, avgTurn,
+                shareStats(procs, tickets, initialTickets, entitled, received, maxLag));
+    }
+
+    /**
+     * Stride Scheduling (preemptive, deterministic proportional share).
+     * Each process holds tickets = priority and advances its pass value by
+     * STRIDE1 / tickets each time it is preempted; the lowest pass runs next, taken
+     * from a min-heap in O(log n). Ties go to the earlier process (seq).
+     * All processes arrive at time 0.
+     *
+     * @param processes list of PCBs
+     * @param quantumMs time slice in ms
+     */
+    public static SchedulerResult runStride(List<PCB> processes, int quantumMs) {
+        if (processes.isEmpty()) {
+            return new SchedulerResult(new ArrayList<>(), 0.0, 0.0);
+        }
+        if (quantumMs <= 0) {
+            throw new IllegalArgumentException("Quantum must be > 0");
+        }
+
+        int n = processes.size();
+        List<PCB> procs = new ArrayList<>(processes);
+
+        int[] remaining = new int[n];
+        int[] tickets = new int[n];
+        long[] stride = new long[n];
+        long[] pass = new long[n];
+        long[] seq = new long[n];
+        int activeTickets = 0;
+        for (int i = 0; i < n; i++) {
+            PCB p = procs.get(i);
+            remaining[i] = p.burstTimeMs;
+            tickets[i] = ticketsFor(p);
+            stride[i] = STRIDE1 / tickets[i];
+            pass[i] = stride[i];
+            seq[i] = p.seq;
+            activeTickets += tickets[i];
+            p.waitingTimeMs = 0;
+            p.turnaroundTimeMs = 0;
+            p.state = ProcessState.READY;
+        }
+        int initialTickets = activeTickets;
+
+        // Only the top index's pass changes, and the heap is re-sifted right after
+        PassHeap heap = new PassHeap(pass, seq);
+
+        List<GanttEntry> gantt = new ArrayList<>();
+        double[] entitled = new double[n];
+        long[] received = new long[n];
+        double[] maxLag = new double[n];
+        int currentTime = 0;
+        long totalWaiting = 0;
+        long totalTurnaround = 0;
+
+        // see runLottery
+        double timePerTicket = 0.0;
+
+        TraceRecorder.emit(TraceEvent.RUN, -1, 0, TraceRecorder.ALGO_STRIDE, quantumMs, n);
+
+        while (!heap.isEmpty()) {
+            int idx = heap.peek();
+            PCB p = procs.get(idx);
+
+            int execTime = Math.min(remaining[idx], quantumMs);
+            int start = currentTime;
+            int end = currentTime + execTime;
+
+            maxLag[idx] = Math.max(maxLag[idx],
+                    Math.abs(received[idx] - tickets[idx] * timePerTicket));
+            timePerTicket += (double) execTime / activeTickets;
+            received[idx] += execTime;
+            maxLag[idx] = Math.max(maxLag[idx],
+                    Math.abs(received[idx] - tickets[idx] * timePerTicket));
+            currentTime = end;
+            remaining[idx] -= execTime;
+            gantt.add(new GanttEntry(p.id, start, end));
+            TraceRecorder.emit(TraceEvent.DISPATCH, p.id, start, execTime, 0, 0);
+
+            if (remaining[idx] == 0) {
+                heap.poll();
+                activeTickets -= tickets[idx];
+                entitled[idx] = tickets[idx] * timePerTicket;
+
+                p.state = ProcessState.TERMINATED;
+                p.turnaroundTimeMs = currentTime - p.arrivalTimeMs;
+                p.waitingTimeMs = p.turnaroundTimeMs - p.burstTimeMs;
+                totalWaiting += p.waitingTimeMs;
+                totalTurnaround += p.turnaroundTimeMs;
+                TraceRecorder.emit(TraceEvent.TERMINATE, p.id, end,
+                        (int) p.waitingTimeMs, (int) p.turnaroundTimeMs, 0);
+            } else {
+                // still the top of the heap; re-sift instead of poll + add
+                pass[idx] += stride[idx];
+                heap.topIncreased();
+                TraceRecorder.emit(TraceEvent.PREEMPT, p.id, end, remaining[idx], 0, 0);
+            }
+        }
+
+        double avgWait = (double) totalWaiting / n;
+        double avgTurn = (double) totalTurnaround / n;
+
+        return new SchedulerResult(gantt, avgWait, avgTurn,
+                shareStats(procs, tickets, initialTickets, entitled, received, maxLag));
+    }
+
+    // Large constant so STRIDE1 / tickets keeps precision for 1..128 tickets
+    private static final long STRIDE1 = 1L << 20;
+
+    // Proportional-share tickets derived from priority (1..128)
+    private static int ticketsFor(PCB p) {
+        return Math.max(1, p.priority);
+    }
+
+    private static List<ShareStat> shareStats(List<PCB> procs, int[] tickets, int initialTickets,
+                                              double[] entitled, long[] received, double[] maxLag) {
+        List<ShareStat> shares = new ArrayList<>(procs.size());
+        for (int i = 0; i < procs.size(); i++) {
+            shares.add(new ShareStat(procs.get(i).id, tickets[i],
+                    (double) tickets[i] / initialTickets, entitled[i], received[i], maxLag[i]));
+        }
+        return shares;
+    }
 }
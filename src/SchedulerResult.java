@@ -1,15 +1,25 @@
+import java.util.ArrayList;
 import java.util.List;
 
 public class SchedulerResult {
     public final List<GanttEntry> gantt;
     public final double avgWaitingTime;
     public final double avgTurnaroundTime;
+    public final List<ShareStat> shares;   // only filled by proportional-share schedulers
 
     public SchedulerResult(List<GanttEntry> gantt,
                            double avgWaitingTime,
                            double avgTurnaroundTime) {
+        this(gantt, avgWaitingTime, avgTurnaroundTime, new ArrayList<>());
+    }
+
+    public SchedulerResult(List<GanttEntry> gantt,
+                           double avgWaitingTime,
+                           double avgTurnaroundTime,
+                           List<ShareStat> shares) {
         this.gantt = gantt;
         this.avgWaitingTime = avgWaitingTime;
         this.avgTurnaroundTime = avgTurnaroundTime;
+        this.shares = shares;
     }
 }
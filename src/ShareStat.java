@@ -0,0 +1,30 @@
+/**
+ * Proportional-share accuracy of one process.
+ * entitledMs is the CPU time the process was owed by its ticket share
+ * while it was runnable; receivedMs is the CPU time it actually ran.
+ * Lag is receivedMs - entitledMs; maxLagMs is the largest |lag| seen at
+ * any point of the run, the usual measure of proportional-share accuracy.
+ */
+public class ShareStat {
+    public final int processId;
+    public final int tickets;
+    public final double targetShare;    // tickets / total tickets at t=0
+    public final double entitledMs;
+    public final long receivedMs;
+    public final double maxLagMs;
+
+    public ShareStat(int processId, int tickets, double targetShare,
+                     double entitledMs, long receivedMs, double maxLagMs) {
+        this.processId = processId;
+        this.tickets = tickets;
+        this.targetShare = targetShare;
+        this.entitledMs = entitledMs;
+        this.receivedMs = receivedMs;
+        this.maxLagMs = maxLagMs;
+    }
+
+    /** Lag at completion: received minus entitled CPU time, in ms. */
+    public double lagMs() {
+        return receivedMs - entitledMs;
+    }
+}
@@ -42,7 +42,7 @@ public class SystemCalls {
 
         public static void sysTerminateProcess(PCB pcb, MemoryManager memory) {
         pcb.state = ProcessState.TERMINATED;
-        memory.free(pcb.memoryMB);
+        memory.free(pcb.id, pcb.memoryMB);
         System.out.printf("sysTerminateProcess: P%d terminated, freed %d MB%n",
                 pcb.id, pcb.memoryMB);
     }
@@ -0,0 +1,56 @@
+/**
+ * Fenwick (binary indexed) tree over per-process ticket counts.
+ * Used by lottery scheduling: both updating a process's tickets and
+ * mapping a drawn ticket number to its owner take O(log n).
+ */
+public class TicketTree {
+    private final int[] tree;   // 1-based
+    private final int size;
+    private int total = 0;
+
+    public TicketTree(int[] tickets) {
+        this.size = tickets.length;
+        this.tree = new int[size + 1];
+
+        // O(n) build: push each node's sum to its parent
+        for (int i = 1; i <= size; i++) {
+            tree[i] += tickets[i - 1];
+            total += tickets[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) tree[parent] += tree[i];
+        }
+    }
+
+    /** Adds delta tickets to process index i (0-based). */
+    public void add(int i, int delta) {
+        total += delta;
+        for (int k = i + 1; k <= size; k += k & -k) {
+            tree[k] += delta;
+        }
+    }
+
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Returns the index of the process holding ticket number `ticket`
+     * (0 <= ticket < total), i.e. the smallest i whose prefix sum exceeds it.
+     */
+    public int find(int ticket) {
+        if (ticket < 0 || ticket >= total) {
+            throw new IllegalArgumentException("Ticket out of range: " + ticket);
+        }
+        int pos = 0;
+        int step = Integer.highestOneBit(size);
+        while (step > 0) {
+            int next = pos + step;
+            if (next <= size && tree[next] <= ticket) {
+                pos = next;
+                ticket -= tree[next];
+            }
+            step >>= 1;
+        }
+        return pos; // prefix(pos) <= ticket < prefix(pos + 1), so owner is 0-based pos
+    }
+}
@@ -0,0 +1,32 @@
+public enum TraceEvent {
+    // wall-clock events (LoaderThread / MemoryManager)
+    ADMIT(1, false),        // a = burst, b = priority, c = memory MB
+    ALLOCATE(2, false),     // pid = owner, a = requested MB, b = used MB after
+    FREE(3, false),         // pid = owner, a = freed MB, b = used MB after
+
+    // simulated-time events (Scheduler)
+    RUN(4, true),           // a = algorithm, b = parameter, c = process count, time = seed
+    DISPATCH(5, true),      // a = slice length
+    PREEMPT(6, true),       // a = remaining burst
+    TERMINATE(7, true);     // a = waiting, b = turnaround
+
+    private static final TraceEvent[] BY_CODE = new TraceEvent[8];
+    static {
+        for (TraceEvent e : values()) BY_CODE[e.code] = e;
+    }
+
+    public final byte code;
+    public final boolean simulated;   // time is scheduler time, reproducible on replay
+
+    TraceEvent(int code, boolean simulated) {
+        this.code = (byte) code;
+        this.simulated = simulated;
+    }
+
+    public static TraceEvent fromCode(byte code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown trace event code: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams records from a binary trace written by TraceRecorder.
+ * The reader is a cursor: call next() and read the public fields,
+ * so no objects are allocated per event.
+ */
+public class TraceReader implements AutoCloseable {
+    private static final int BUFFER_RECORDS = 1 << 14;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean eof = false;
+
+    // current record
+    public TraceEvent event;
+    public int pid;
+    public long time;
+    public int a;
+    public int b;
+    public int c;
+
+    public TraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * TraceRecorder.RECORD_SIZE);
+        buffer.limit(0);
+
+        fill(TraceRecorder.HEADER_SIZE);
+        if (buffer.remaining() < TraceRecorder.HEADER_SIZE) {
+            channel.close();
+            throw new IOException("Trace too short: " + path);
+        }
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != TraceRecorder.MAGIC || version != TraceRecorder.VERSION) {
+            channel.close();
+            throw new IOException("Not a trace file (or unsupported version): " + path);
+        }
+    }
+
+    /** Advances to the next record. Returns false at end of trace. */
+    public boolean next() throws IOException {
+        if (buffer.remaining() < TraceRecorder.RECORD_SIZE) {
+            fill(TraceRecorder.RECORD_SIZE);
+            if (buffer.remaining() < TraceRecorder.RECORD_SIZE) {
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Truncated trace record");
+                }
+                return false;
+            }
+        }
+        event = TraceEvent.fromCode(buffer.get());
+        pid = buffer.getInt();
+        time = buffer.getLong();
+        a = buffer.getInt();
+        b = buffer.getInt();
+        c = buffer.getInt();
+        return true;
+    }
+
+    /** Copies the current record to a recorder unchanged. */
+    public void copyTo(TraceRecorder out) {
+        out.record(event, pid, time, a, b, c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Refill the buffer until it holds at least `want` bytes or the file ends
+    private void fill(int want) throws IOException {
+        buffer.compact();
+        while (!eof && buffer.position() < want) {
+            if (channel.read(buffer) < 0) eof = true;
+        }
+        buffer.flip();
+    }
+}
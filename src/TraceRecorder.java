@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes scheduling events to a compact binary trace.
+ * Records have a fixed size and are packed into one of two preallocated
+ * buffers. A full buffer is handed to a private writer thread, which writes
+ * it to the file channel in bulk while the other buffer fills up.
+ *
+ * Only the writer thread touches the channel: FileChannel is interruptible,
+ * and callers such as LoaderThread get interrupted on shutdown. The writer
+ * is never interrupted. If both buffers are full, record() waits for the
+ * writer, so memory use stays fixed.
+ *
+ * File layout: MAGIC (int), VERSION (int), then RECORD_SIZE-byte records of
+ * type (byte), pid (int), time (long), a (int), b (int), c (int).
+ */
+public class TraceRecorder implements AutoCloseable {
+    public static final int MAGIC = 0x4F535452; // "OSTR"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+    public static final int RECORD_SIZE = 1 + 4 + 8 + 4 + 4 + 4;
+
+    // Scheduling algorithm codes stored in RUN events
+    public static final int ALGO_SJF = 1;
+    public static final int ALGO_RR = 2;
+    public static final int ALGO_PRIORITY = 3;
+    public static final int ALGO_LOTTERY = 4;
+    public static final int ALGO_STRIDE = 5;
+
+    private static final int BUFFER_RECORDS = 1 << 14;
+
+    private static volatile TraceRecorder active = null;
+
+    private final FileChannel channel;
+    private final Thread writer;
+    private final long startNanos;
+
+    // Buffer hand-off, guarded by this: `fill` takes new records, `pending`
+    // waits for the writer, `free` is the drained buffer ready for reuse.
+    // Exactly one of `free` / `pending` / the writer holds the second buffer.
+    private ByteBuffer fill;
+    private ByteBuffer pending = null;
+    private ByteBuffer free;
+    private boolean closing = false;
+    private boolean closed = false;
+    private IOException failure = null;
+    private long eventCount = 0;
+
+    public TraceRecorder(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.fill = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+        this.free = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+        this.startNanos = System.nanoTime();
+
+        // Header goes to disk immediately, so even an empty trace is readable
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        this.writer = new Thread(this::writeLoop, "TraceWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ---- Global recorder used by LoaderThread, MemoryManager and Scheduler ----
+
+    public static void install(TraceRecorder recorder) {
+        active = recorder;
+    }
+
+    /** Records an event on the installed recorder; no-op when tracing is off. */
+    public static void emit(TraceEvent event, int pid, long time, int a, int b, int c) {
+        TraceRecorder r = active;
+        if (r != null) r.record(event, pid, time, a, b, c);
+    }
+
+    /** Records a wall-clock event, timestamped in ms since the recorder was opened. */
+    public static void emitNow(TraceEvent event, int pid, int a, int b, int c) {
+        TraceRecorder r = active;
+        if (r != null) r.record(event, pid, r.elapsedMs(), a, b, c);
+    }
+
+    // ---- Instance API ----
+
+    public long elapsedMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    public synchronized void record(TraceEvent event, int pid, long time, int a, int b, int c) {
+        if (failure != null || closed) return;
+        if (fill.remaining() < RECORD_SIZE) {
+            handOff();
+            if (failure != null) return;
+        }
+        fill.put(event.code)
+            .putInt(pid)
+            .putLong(time)
+            .putInt(a)
+            .putInt(b)
+            .putInt(c);
+        eventCount++;
+    }
+
+    public synchronized long eventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Writes out the remaining records and closes the trace.
+     * Throws if any write failed, since the file on disk is then incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            if (active == this) active = null;
+            if (fill.position() > 0 && failure == null) handOff();
+            closing = true;
+            notifyAll();
+        }
+
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        channel.close();
+        if (failure != null) {
+            throw new IOException("Trace incomplete: write failed", failure);
+        }
+    }
+
+    // Queue the full `fill` buffer for the writer and continue in `free`.
+    // Waits (uninterruptibly) while the writer is still draining `free`.
+    private void handOff() {
+        boolean interrupted = false;
+        while (free == null && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (failure != null) return;
+
+        pending = fill;
+        fill = free;
+        free = null;
+        notifyAll();
+    }
+
+    // Body of the writer thread: the only code that writes to the channel
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer buf;
+            synchronized (this) {
+                while (pending == null && !closing) {
+                    try {
+                        wait();
+                    } catch (InterruptedException ie) {
+                        // never interrupted; keep draining
+                    }
+                }
+                if (pending == null) return; // closing and drained
+                buf = pending;
+                pending = null;
+            }
+
+            buf.flip();
+            try {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            } catch (IOException e) {
+                // A failed write disables tracing instead of aborting the scheduler
+                synchronized (this) {
+                    failure = e;
+                    if (active == this) active = null;
+                    notifyAll();
+                }
+                System.err.println("[Trace] Write failed, tracing disabled: " + e);
+                return;
+            }
+            buf.clear();
+
+            synchronized (this) {
+                free = buf;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline tool for binary scheduling traces.
+ *
+ *   java TraceReplay replay <in.trace> <out.trace>
+ *       Re-runs every scheduling run in the trace on the processes admitted
+ *       before it. Wall-clock events (admission, memory) are copied as-is;
+ *       scheduler events are regenerated, so the output is deterministic.
+ *
+ *   java TraceReplay diff <a.trace> <b.trace>
+ *       Compares two traces record by record (wall-clock timestamps are
+ *       ignored) and prints the first differences plus summary statistics.
+ */
+public class TraceReplay {
+    private static final int MAX_REPORTED_DIFFS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("replay")) {
+            replay(Path.of(args[1]), Path.of(args[2]));
+        } else if (args.length == 3 && args[0].equals("diff")) {
+            boolean same = diff(Path.of(args[1]), Path.of(args[2]));
+            if (!same) System.exit(1);
+        } else {
+            System.err.println("Usage: java TraceReplay replay <in.trace> <out.trace>");
+            System.err.println("       java TraceReplay diff <a.trace> <b.trace>");
+            System.exit(2);
+        }
+    }
+
+    public static void replay(Path in, Path out) throws IOException {
+        List<PCB> admitted = new ArrayList<>();
+        int runs = 0;
+
+        try (TraceReader reader = new TraceReader(in);
+             TraceRecorder recorder = new TraceRecorder(out)) {
+            TraceRecorder.install(recorder);
+
+            while (reader.next()) {
+                if (!reader.event.simulated) {
+                    if (reader.event == TraceEvent.ADMIT) {
+                        admitted.add(SystemCalls.sysCreateProcess(
+                                reader.pid, reader.a, reader.b, reader.c));
+                    }
+                    reader.copyTo(recorder);
+                } else if (reader.event == TraceEvent.RUN) {
+                    // Re-running on a different process set would not be comparable
+                    if (reader.c != admitted.size()) {
+                        throw new IOException(String.format(
+                                "Run %d scheduled %d processes but the trace admitted %d",
+                                runs, reader.c, admitted.size()));
+                    }
+                    rerun(reader.a, reader.b, reader.time, admitted);
+                    runs++;
+                }
+                // other scheduler events are regenerated by rerun()
+            }
+        } catch (IOException | RuntimeException e) {
+            // Don't leave a partial trace that looks like a valid replay
+            Files.deleteIfExists(out);
+            throw e;
+        }
+
+        System.out.printf("[Replay] %d process(es), %d run(s) replayed into %s%n",
+                admitted.size(), runs, out);
+    }
+
+    private static SchedulerResult rerun(int algorithm, int param, long seed, List<PCB> processes) {
+        switch (algorithm) {
+            case TraceRecorder.ALGO_SJF:
+                return Scheduler.runSJF(processes);
+            case TraceRecorder.ALGO_RR:
+                return Scheduler.runRR(processes, param);
+            case TraceRecorder.ALGO_PRIORITY:
+                return Scheduler.runPriority(processes, param);
+            case TraceRecorder.ALGO_LOTTERY:
+                return Scheduler.runLottery(processes, param, seed);
+            case TraceRecorder.ALGO_STRIDE:
+                return Scheduler.runStride(processes, param);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm code in trace: " + algorithm);
+        }
+    }
+
+    public static boolean diff(Path left, Path right) throws IOException {
+        long index = 0;
+        long mismatches = 0;
+        long[] leftCounts = new long[TraceEvent.values().length];
+        long[] rightCounts = new long[TraceEvent.values().length];
+        long[] leftWait = new long[2];   // {sum of waiting, terminated count}
+        long[] rightWait = new long[2];
+
+        try (TraceReader l = new TraceReader(left);
+             TraceReader r = new TraceReader(right)) {
+            boolean hasL = l.next();
+            boolean hasR = r.next();
+
+            while (hasL || hasR) {
+                if (hasL) tally(l, leftCounts, leftWait);
+                if (hasR) tally(r, rightCounts, rightWait);
+
+                if (!hasL || !hasR || !sameRecord(l, r)) {
+                    if (mismatches < MAX_REPORTED_DIFFS) {
+                        System.out.printf("@%d%n  < %s%n  > %s%n", index,
+                                hasL ? describe(l) : "<end of trace>",
+                                hasR ? describe(r) : "<end of trace>");
+                    }
+                    mismatches++;
+                }
+
+                index++;
+                if (hasL) hasL = l.next();
+                if (hasR) hasR = r.next();
+            }
+        }
+
+        System.out.println("\n--- Trace diff summary ---");
+        System.out.printf("%-10s %12s %12s%n", "event", left.getFileName(), right.getFileName());
+        for (TraceEvent e : TraceEvent.values()) {
+            int i = e.ordinal();
+            System.out.printf("%-10s %12d %12d%n", e, leftCounts[i], rightCounts[i]);
+        }
+        System.out.printf("Average waiting time: %.2f ms vs %.2f ms%n",
+                average(leftWait), average(rightWait));
+        System.out.printf("Differing records: %d of %d%n", mismatches, index);
+
+        return mismatches == 0;
+    }
+
+    private static void tally(TraceReader t, long[] counts, long[] wait) {
+        counts[t.event.ordinal()]++;
+        if (t.event == TraceEvent.TERMINATE) {
+            wait[0] += t.a;
+            wait[1]++;
+        }
+    }
+
+    private static boolean sameRecord(TraceReader l, TraceReader r) {
+        return l.event == r.event
+                && l.pid == r.pid
+                && (!l.event.simulated || l.time == r.time)
+                && l.a == r.a
+                && l.b == r.b
+                && l.c == r.c;
+    }
+
+    private static String describe(TraceReader t) {
+        return String.format("%s P%d t=%d a=%d b=%d c=%d", t.event, t.pid, t.time, t.a, t.b, t.c);
+    }
+
+    private static double average(long[] wait) {
+        return wait[1] == 0 ? 0.0 : (double) wait[0] / wait[1];
+    }
+}